@@ -1,8 +1,10 @@
 package com.lozadesuu.collections;
 
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 /**
@@ -93,6 +95,37 @@ public class MyBidiMap<K extends Comparable<K>, V extends Comparable<V>> impleme
         }
     }
 
+    /**
+     * Прямое направление K -> V; используется кодеком для потоковой записи.
+     */
+    MyTreeMap<K, V> keyToValueMap() {
+        return keyToValue;
+    }
+
+    /**
+     * Перестраивает обратный индекс V -> K по прямому за O(n log n)
+     * (сортировка) + O(n) (сбалансированная сборка дерева).
+     *
+     * @throws IllegalStateException если в прямом направлении есть повторяющиеся значения
+     */
+    void rebuildInverse() {
+        int n = keyToValue.size();
+        @SuppressWarnings("unchecked")
+        MyTreeNode<V, K>[] nodes = (MyTreeNode<V, K>[]) new MyTreeNode[n];
+        int i = 0;
+        for (MyTreeNode<K, V> p = keyToValue.firstNode(); p != null; p = MyTreeMap.successor(p)) {
+            nodes[i++] = new MyTreeNode<>(p.value, p.key);
+        }
+        Arrays.sort(nodes, (a, b) -> a.key.compareTo(b.key));
+        for (i = 1; i < n; i++) {
+            if (nodes[i - 1].key.compareTo(nodes[i].key) == 0) {
+                throw new IllegalStateException("duplicate value: " + nodes[i].key);
+            }
+        }
+        valueToKey.replaceWithSorted(nodes, n);
+        modCount++; // Структурное изменение: индекс перестроен
+    }
+
     @Override
     public boolean containsKey(K key) {
         if (key == null) return false;
@@ -151,44 +184,76 @@ public class MyBidiMap<K extends Comparable<K>, V extends Comparable<V>> impleme
         return new BidiValueIterator();
     }
 
+    /**
+     * Итератор идёт прямо по узлам keyToValue без промежуточных Entry.
+     * Все изменения деревьев проходят через MyBidiMap, поэтому достаточно
+     * одной проверки modCount карты на шаг.
+     * remove() удаляет пару в обоих направлениях.
+     */
     private abstract class BaseBidiIterator<T> implements Iterator<T> {
-        protected final Iterator<Entry<K, V>> delegate = keyToValue.iterator();
-        protected final int expectedModCount = modCount;
+        private MyTreeNode<K, V> next = keyToValue.firstNode();
+        private MyTreeNode<K, V> lastReturned;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
 
-        protected void checkModification() {
+        protected MyTreeNode<K, V> nextNode() {
             if (expectedModCount != modCount) {
                 throw new ConcurrentModificationException();
             }
+            MyTreeNode<K, V> node = next;
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            next = MyTreeMap.successor(node);
+            lastReturned = node;
+            return node;
         }
 
         @Override
-        public boolean hasNext() {
-            checkModification();
-            return delegate.hasNext();
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            // При двух детях данные преемника переносятся в lastReturned,
+            // поэтому следующим элементом становится этот же узел
+            if (lastReturned.left != null && lastReturned.right != null) {
+                next = lastReturned;
+            }
+            V value = lastReturned.value;
+            keyToValue.removeNode(lastReturned);
+            valueToKey.remove(value);
+            modCount++; // Структурное изменение: удалены элементы
+            expectedModCount = modCount;
+            lastReturned = null;
         }
     }
 
     private class BidiEntryIterator extends BaseBidiIterator<Entry<K, V>> {
         @Override
         public Entry<K, V> next() {
-            checkModification();
-            return delegate.next();
+            MyTreeNode<K, V> node = nextNode();
+            return new Entry<>(node.key, node.value);
         }
     }
 
     private class BidiKeyIterator extends BaseBidiIterator<K> {
         @Override
         public K next() {
-            checkModification();
-            return delegate.next().getKey();
+            return nextNode().key;
         }
     }
 
     private class BidiValueIterator extends BaseBidiIterator<V> {
         @Override
         public V next() {
-            checkModification();
-            return delegate.next().getValue();
+            return nextNode().value;
         }
     }
 
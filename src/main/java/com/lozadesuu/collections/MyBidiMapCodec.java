@@ -0,0 +1,55 @@
+package com.lozadesuu.collections;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Компактный потоковый бинарный формат для MyBidiMap.
+ * Передаётся только направление K -> V (формат как у {@link MyTreeMapCodec},
+ * но без признаков null - значения в MyBidiMap не бывают null).
+ * Обратный индекс V -> K перестраивается при чтении.
+ * Как и у MyTreeMapCodec, read(channel) корректен, только если карта последняя
+ * в канале; несколько карт из одного канала читайте через общий MyBinaryInput.
+ */
+public class MyBidiMapCodec<K extends Comparable<K>, V extends Comparable<V>> {
+    private final MyTreeMapCodec<K, V> entriesCodec;
+
+    public MyBidiMapCodec(MySerializer<K> keySerializer, MySerializer<V> valueSerializer) {
+        this.entriesCodec = new MyTreeMapCodec<>(keySerializer, valueSerializer);
+    }
+
+    public void write(MyBidiMap<K, V> map, WritableByteChannel channel) throws IOException {
+        MyBinaryOutput out = new MyBinaryOutput(channel);
+        write(map, out);
+        out.flush();
+    }
+
+    public void write(MyBidiMap<K, V> map, MyBinaryOutput out) throws IOException {
+        out.writeByte(MyTreeMapCodec.TAG_BIDI_MAP);
+        entriesCodec.writeEntries(map.keyToValueMap(), out, false);
+    }
+
+    /**
+     * Только для канала, в котором после карты ничего нет: данные за картой,
+     * прочитанные с опережением, теряются. Иначе используйте read(MyBinaryInput).
+     */
+    public MyBidiMap<K, V> read(ReadableByteChannel channel) throws IOException {
+        return read(new MyBinaryInput(channel));
+    }
+
+    public MyBidiMap<K, V> read(MyBinaryInput in) throws IOException {
+        MyTreeMapCodec.expectTag(in, MyTreeMapCodec.TAG_BIDI_MAP);
+        MyBidiMap<K, V> map = new MyBidiMap<>();
+        entriesCodec.readEntries(map.keyToValueMap(), in, false);
+        try {
+            map.rebuildInverse();
+        } catch (IllegalStateException e) {
+            StreamCorruptedException sce = new StreamCorruptedException(e.getMessage());
+            sce.initCause(e);
+            throw sce;
+        }
+        return map;
+    }
+}
@@ -0,0 +1,118 @@
+package com.lozadesuu.collections;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Буферизованное чтение примитивов из NIO-канала, пара к {@link MyBinaryOutput}.
+ * Из канала читается с опережением, поэтому все последующие данные того же
+ * потока нужно читать через этот же экземпляр.
+ * Экземпляр можно переиспользовать для чтения многих карт из одного канала.
+ */
+public class MyBinaryInput {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    public MyBinaryInput(ReadableByteChannel channel) {
+        this(channel, MyBinaryOutput.DEFAULT_BUFFER_SIZE);
+    }
+
+    public MyBinaryInput(ReadableByteChannel channel, int bufferSize) {
+        if (channel == null) throw new IllegalArgumentException("channel must not be null");
+        if (bufferSize < 16) throw new IllegalArgumentException("bufferSize must be at least 16");
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.flip(); // Изначально буфер пуст
+    }
+
+    private void require(int n) throws IOException {
+        while (buffer.remaining() < n) {
+            buffer.compact();
+            int r = channel.read(buffer);
+            buffer.flip();
+            if (r < 0) throw new EOFException();
+        }
+    }
+
+    public int readByte() throws IOException {
+        require(1);
+        return buffer.get() & 0xFF;
+    }
+
+    public int readInt() throws IOException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    public long readLong() throws IOException {
+        require(8);
+        return buffer.getLong();
+    }
+
+    public double readDouble() throws IOException {
+        require(8);
+        return buffer.getDouble();
+    }
+
+    public int readVarInt() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new StreamCorruptedException("malformed varint");
+    }
+
+    public long readVarLong() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new StreamCorruptedException("malformed varint");
+    }
+
+    public int readSignedVarInt() throws IOException {
+        int v = readVarInt();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    public long readSignedVarLong() throws IOException {
+        long v = readVarLong();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    public void readBytes(byte[] bytes, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!buffer.hasRemaining()) require(1);
+            int chunk = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    public String readString() throws IOException {
+        int len = readVarInt();
+        if (len < 0) throw new StreamCorruptedException("negative string length");
+        // Длина из потока не проверена: массив растёт по мере чтения данных
+        byte[] bytes = new byte[Math.min(len, buffer.capacity())];
+        int read = 0;
+        while (read < len) {
+            if (read == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(len, 2L * bytes.length));
+            }
+            int chunk = bytes.length - read;
+            readBytes(bytes, read, chunk);
+            read += chunk;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
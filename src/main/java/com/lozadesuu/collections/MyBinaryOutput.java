@@ -0,0 +1,120 @@
+package com.lozadesuu.collections;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Буферизованная запись примитивов в NIO-канал.
+ * Varint - беззнаковый LEB128 (7 бит на байт), знаковые числа кодируются через zigzag.
+ * Канал должен быть блокирующим. Данные попадают в канал только при flush()
+ * или при заполнении буфера; сам канал не закрывается.
+ * Экземпляр можно переиспользовать для записи многих карт в один канал.
+ */
+public class MyBinaryOutput implements Flushable {
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    public MyBinaryOutput(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public MyBinaryOutput(WritableByteChannel channel, int bufferSize) {
+        if (channel == null) throw new IllegalArgumentException("channel must not be null");
+        if (bufferSize < 16) throw new IllegalArgumentException("bufferSize must be at least 16");
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    private void ensure(int n) throws IOException {
+        if (buffer.remaining() < n) drain();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public void writeByte(int b) throws IOException {
+        ensure(1);
+        buffer.put((byte) b);
+    }
+
+    public void writeInt(int v) throws IOException {
+        ensure(4);
+        buffer.putInt(v);
+    }
+
+    public void writeLong(long v) throws IOException {
+        ensure(8);
+        buffer.putLong(v);
+    }
+
+    public void writeDouble(double v) throws IOException {
+        ensure(8);
+        buffer.putDouble(v);
+    }
+
+    /**
+     * Беззнаковый varint: 1-5 байт.
+     */
+    public void writeVarInt(int v) throws IOException {
+        ensure(5);
+        while ((v & ~0x7F) != 0) {
+            buffer.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buffer.put((byte) v);
+    }
+
+    /**
+     * Беззнаковый varint: 1-10 байт.
+     */
+    public void writeVarLong(long v) throws IOException {
+        ensure(10);
+        while ((v & ~0x7FL) != 0) {
+            buffer.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buffer.put((byte) v);
+    }
+
+    public void writeSignedVarInt(int v) throws IOException {
+        writeVarInt((v << 1) ^ (v >> 31));
+    }
+
+    public void writeSignedVarLong(long v) throws IOException {
+        writeVarLong((v << 1) ^ (v >> 63));
+    }
+
+    public void writeBytes(byte[] bytes, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!buffer.hasRemaining()) drain();
+            int chunk = Math.min(len, buffer.remaining());
+            buffer.put(bytes, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    /**
+     * Строка в UTF-8 с префиксом длины (в байтах) в виде varint.
+     */
+    public void writeString(String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+}
@@ -0,0 +1,83 @@
+package com.lozadesuu.collections;
+
+import java.util.Arrays;
+
+/**
+ * Фильтр Блума: mightContain() == false означает, что элемент точно не добавлялся.
+ * Размер битового массива и число хеш-функций подбираются по ожидаемому
+ * числу элементов и желаемой доле ложных срабатываний.
+ * Хеши считаются по hashCode() (двойное хеширование после перемешивания в 64 бита).
+ */
+public class MyBloomFilter<T> {
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+    private int insertions;
+
+    public MyBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) throw new IllegalArgumentException("expectedInsertions must be positive");
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+        }
+        // m = -n * ln(p) / ln(2)^2, k = m / n * ln(2)
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = Math.max(64, (bits + 63) & ~63L);
+        this.words = new long[(int) (bits >>> 6)];
+        this.bitCount = bits;
+        this.hashCount = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+    }
+
+    private static long mix(long h) {
+        // Финализатор MurmurHash3 (fmix64)
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public void put(T element) {
+        long h = mix(element.hashCode());
+        long h1 = h, h2 = (h >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    public boolean mightContain(T element) {
+        long h = mix(element.hashCode());
+        long h1 = h, h2 = (h >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+        insertions = 0;
+    }
+
+    /**
+     * Оценка доли ложных срабатываний для текущего числа вставок: (1 - e^(-k*n/m))^k.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions / bitCount), hashCount);
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public int getInsertions() {
+        return insertions;
+    }
+}
@@ -0,0 +1,219 @@
+package com.lozadesuu.collections;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Обёртка над любой MyMap с фильтром Блума по ключам: get/containsKey/remove
+ * для ключа, которого точно нет, отвечают за O(1), не спускаясь в дерево.
+ * Фильтр пополняется при put, при росте карты сверх ёмкости и после
+ * большого числа удалений перестраивается по текущим ключам.
+ * Требования:
+ * - все изменения должны идти через обёртку (иначе возможны ложные промахи);
+ * - hashCode() ключей согласован с compareTo()/equals().
+ * Удаления через итераторы делегата допустимы: они лишь оставляют в фильтре лишние биты.
+ */
+public class MyFilteredMap<K, V> implements MyMap<K, V> {
+    static final int MIN_CAPACITY = 16;
+    static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final MyMap<K, V> delegate;
+    private final double falsePositiveRate;
+    private MyBloomFilter<K> filter;
+    private int capacity;
+    private int removedSinceRebuild;
+
+    // Метрики
+    private long lookups;
+    private long skippedLookups;  // Промахи, отсечённые фильтром (сэкономленные обходы дерева)
+    private long falsePositives;  // Фильтр пропустил, но ключа в карте нет (containsKey/remove)
+    private long rebuilds;
+
+    public MyFilteredMap(MyMap<K, V> delegate) {
+        this(delegate, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    public MyFilteredMap(MyMap<K, V> delegate, double falsePositiveRate) {
+        if (delegate == null) throw new IllegalArgumentException("delegate must not be null");
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+        }
+        this.delegate = delegate;
+        this.falsePositiveRate = falsePositiveRate;
+        rebuild();
+        rebuilds = 0; // Первоначальное построение не считается перестроением
+    }
+
+    /**
+     * Перестраивает фильтр по текущим ключам с ёмкостью 2 * size (не меньше MIN_CAPACITY).
+     * Вызывается автоматически, но может быть вызван и вручную после массовых удалений.
+     */
+    public void rebuild() {
+        capacity = Math.max(MIN_CAPACITY, 2 * delegate.size());
+        MyBloomFilter<K> f = new MyBloomFilter<>(capacity, falsePositiveRate);
+        Iterator<K> it = delegate.keyIterator();
+        while (it.hasNext()) {
+            f.put(it.next());
+        }
+        filter = f;
+        removedSinceRebuild = 0;
+        rebuilds++;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int before = delegate.size();
+        delegate.put(key, value);
+        int after = delegate.size();
+        if (after > capacity) {
+            rebuild(); // Новый ключ попадёт в фильтр при перестроении
+            return;
+        }
+        if (after > before || !filter.mightContain(key)) {
+            // Обновление значения существующего ключа фильтр не трогает;
+            // при том же размере ключ мог заменить другой (как в MyBidiMap)
+            filter.put(key);
+        }
+        if (after < before) {
+            // put может вытеснить другие ключи (MyBidiMap отбирает значение у старого ключа)
+            removedSinceRebuild += before - after;
+            rebuildIfStale();
+        }
+    }
+
+    /**
+     * get() не учитывается в falsePositives: null не отличает промах
+     * от ключа со значением null без второго обхода.
+     */
+    @Override
+    public V get(K key) {
+        if (key == null) return delegate.get(key);
+        lookups++;
+        if (!filter.mightContain(key)) {
+            skippedLookups++;
+            return null;
+        }
+        return delegate.get(key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) return delegate.containsKey(key);
+        lookups++;
+        if (!filter.mightContain(key)) {
+            skippedLookups++;
+            return false;
+        }
+        boolean found = delegate.containsKey(key);
+        if (!found) falsePositives++;
+        return found;
+    }
+
+    @Override
+    public void remove(K key) {
+        if (key == null) {
+            delegate.remove(key);
+            return;
+        }
+        lookups++;
+        if (!filter.mightContain(key)) {
+            skippedLookups++;
+            return;
+        }
+        int before = delegate.size();
+        delegate.remove(key);
+        if (delegate.size() == before) {
+            falsePositives++;
+            return;
+        }
+        removedSinceRebuild++;
+        rebuildIfStale();
+    }
+
+    private void rebuildIfStale() {
+        if (removedSinceRebuild > Math.max(MIN_CAPACITY, delegate.size()) / 2) {
+            // Удалённые ключи оставляют биты в фильтре и повышают долю ложных срабатываний,
+            // поэтому перестраиваем, когда их больше половины от оставшихся
+            rebuild();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        filter.clear();
+        removedSinceRebuild = 0;
+    }
+
+    @Override
+    public List<K> keys() {
+        return delegate.keys();
+    }
+
+    @Override
+    public List<V> values() {
+        return delegate.values();
+    }
+
+    @Override
+    public List<Entry<K, V>> entries() {
+        return delegate.entries();
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return delegate.iterator();
+    }
+
+    @Override
+    public Iterator<K> keyIterator() {
+        return delegate.keyIterator();
+    }
+
+    @Override
+    public Iterator<V> valueIterator() {
+        return delegate.valueIterator();
+    }
+
+    public long getLookups() {
+        return lookups;
+    }
+
+    public long getSkippedLookups() {
+        return skippedLookups;
+    }
+
+    public long getFalsePositives() {
+        return falsePositives;
+    }
+
+    public long getRebuilds() {
+        return rebuilds;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        return filter.expectedFalsePositiveRate();
+    }
+
+    public void resetStats() {
+        lookups = 0;
+        skippedLookups = 0;
+        falsePositives = 0;
+        rebuilds = 0;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
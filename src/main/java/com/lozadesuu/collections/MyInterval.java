@@ -0,0 +1,55 @@
+package com.lozadesuu.collections;
+
+import java.util.Objects;
+
+/**
+ * Полуоткрытый интервал [start, end), start строго меньше end.
+ * Порядок: по start, затем по end.
+ */
+public class MyInterval<K extends Comparable<K>> implements Comparable<MyInterval<K>> {
+    private final K start;
+    private final K end;
+
+    public MyInterval(K start, K end) {
+        if (start == null) throw new IllegalArgumentException("start must not be null");
+        if (end == null) throw new IllegalArgumentException("end must not be null");
+        if (start.compareTo(end) >= 0) throw new IllegalArgumentException("start must be less than end");
+        this.start = start;
+        this.end = end;
+    }
+
+    public K getStart() { return start; }
+    public K getEnd() { return end; }
+
+    public boolean contains(K point) {
+        return start.compareTo(point) <= 0 && point.compareTo(end) < 0;
+    }
+
+    public boolean overlaps(MyInterval<K> other) {
+        return start.compareTo(other.end) < 0 && other.start.compareTo(end) < 0;
+    }
+
+    @Override
+    public int compareTo(MyInterval<K> other) {
+        int c = start.compareTo(other.start);
+        return (c != 0) ? c : end.compareTo(other.end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MyInterval<?> other = (MyInterval<?>) o;
+        return start.equals(other.start) && end.equals(other.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + ", " + end + ")";
+    }
+}
@@ -0,0 +1,452 @@
+package com.lozadesuu.collections;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Stack;
+
+/**
+ * Карта интервалов [start, end) -> V на AVL-дереве, упорядоченном по интервалам.
+ * Каждый узел хранит максимальный конец интервала в своём поддереве (maxEnd),
+ * что позволяет отсекать поддеревья при поиске пересечений.
+ * Интервалы могут пересекаться. V могут быть null, ключи нет.
+ * Оценка containing/overlapping: O(min(n, (k + 1) * log n)) для k найденных
+ * интервалов - каждое совпадение может стоить пути от корня до листа через
+ * несовпадающие узлы. Для k = 0 и небольших k это O(log n), но не O(log n + k).
+ * modCount увеличивается только при структурных модификациях.
+ */
+public class MyIntervalMap<K extends Comparable<K>, V> implements MyNavigableMap<MyInterval<K>, V> {
+    private MyIntervalNode<K, V> root;
+    private int size;
+    private int modCount = 0; // Счётчик структурных модификаций
+
+    private MyIntervalNode<K, V> findMin(MyIntervalNode<K, V> n) {
+        while (n.left != null)
+            n = n.left;
+        return n;
+    }
+
+    private MyIntervalNode<K, V> findMax(MyIntervalNode<K, V> n) {
+        while (n.right != null)
+            n = n.right;
+        return n;
+    }
+
+    private MyIntervalNode<K, V> getNode(MyIntervalNode<K, V> n, MyInterval<K> key) {
+        while (n != null) {
+            int c = key.compareTo(n.key);
+            if (c < 0) n = n.left;
+            else if (c > 0) n = n.right;
+            else return n;
+        }
+        return null;
+    }
+
+    // Балансировка AVL и поддержка maxEnd
+
+    private int height(MyIntervalNode<K, V> n) {
+        return (n == null) ? 0 : n.height;
+    }
+
+    private void update(MyIntervalNode<K, V> n) {
+        n.height = 1 + Math.max(height(n.left), height(n.right));
+        K max = n.key.getEnd();
+        if (n.left != null && n.left.maxEnd.compareTo(max) > 0) max = n.left.maxEnd;
+        if (n.right != null && n.right.maxEnd.compareTo(max) > 0) max = n.right.maxEnd;
+        n.maxEnd = max;
+    }
+
+    private MyIntervalNode<K, V> rotateRight(MyIntervalNode<K, V> n) {
+        MyIntervalNode<K, V> l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private MyIntervalNode<K, V> rotateLeft(MyIntervalNode<K, V> n) {
+        MyIntervalNode<K, V> r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+
+    private MyIntervalNode<K, V> balance(MyIntervalNode<K, V> n) {
+        update(n);
+        int diff = height(n.left) - height(n.right);
+        if (diff > 1) {
+            if (height(n.left.left) < height(n.left.right))
+                n.left = rotateLeft(n.left);
+            return rotateRight(n);
+        }
+        if (diff < -1) {
+            if (height(n.right.right) < height(n.right.left))
+                n.right = rotateRight(n.right);
+            return rotateLeft(n);
+        }
+        return n;
+    }
+
+    @Override
+    public void put(MyInterval<K> key, V value) {
+        if (key == null) throw new IllegalArgumentException("key must not be null");
+
+        MyIntervalNode<K, V> existing = getNode(root, key);
+        if (existing != null) {
+            // Интервал уже существует - обновляем значение
+            // modCount НЕ увеличивается, т.к. это не структурное изменение
+            existing.value = value;
+            return;
+        }
+
+        root = insert(root, key, value);
+        size++;
+        modCount++; // Структурное изменение: добавлен новый узел
+    }
+
+    private MyIntervalNode<K, V> insert(MyIntervalNode<K, V> n, MyInterval<K> key, V value) {
+        if (n == null) return new MyIntervalNode<>(key, value);
+        if (key.compareTo(n.key) < 0) n.left = insert(n.left, key, value);
+        else n.right = insert(n.right, key, value);
+        return balance(n);
+    }
+
+    @Override
+    public V get(MyInterval<K> key) {
+        if (key == null) throw new IllegalArgumentException("key must not be null");
+        MyIntervalNode<K, V> n = getNode(root, key);
+        return n == null ? null : n.value;
+    }
+
+    @Override
+    public void remove(MyInterval<K> key) {
+        if (key == null) throw new IllegalArgumentException("key must not be null");
+        if (getNode(root, key) == null) return;
+        root = delete(root, key);
+        size--;
+        modCount++; // Структурное изменение: удален узел
+    }
+
+    private MyIntervalNode<K, V> delete(MyIntervalNode<K, V> n, MyInterval<K> key) {
+        int c = key.compareTo(n.key);
+        if (c < 0) {
+            n.left = delete(n.left, key);
+        } else if (c > 0) {
+            n.right = delete(n.right, key);
+        } else {
+            if (n.left == null) return n.right;
+            if (n.right == null) return n.left;
+            // Два ребёнка: переносим данные преемника и удаляем его из правого поддерева
+            MyIntervalNode<K, V> successor = findMin(n.right);
+            n.key = successor.key;
+            n.value = successor.value;
+            n.right = delete(n.right, successor.key);
+        }
+        return balance(n);
+    }
+
+    @Override
+    public boolean containsKey(MyInterval<K> key) {
+        if (key == null) return false;
+        return getNode(root, key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        modCount++; // Структурное изменение: очистка всех элементов
+    }
+
+    /**
+     * Все интервалы, содержащие точку (start <= point < end), в порядке возрастания.
+     * Поддеревья, у которых maxEnd <= point, не просматриваются;
+     * время O(min(n, (k + 1) * log n)).
+     */
+    public List<Entry<MyInterval<K>, V>> containing(K point) {
+        if (point == null) throw new IllegalArgumentException("point must not be null");
+        List<Entry<MyInterval<K>, V>> result = new ArrayList<>();
+        collectContaining(root, point, result);
+        return result;
+    }
+
+    private void collectContaining(MyIntervalNode<K, V> n, K point, List<Entry<MyInterval<K>, V>> result) {
+        if (n == null || n.maxEnd.compareTo(point) <= 0) return;
+        collectContaining(n.left, point, result);
+        // Правее начала всех интервалов больше point, там искать нечего
+        if (n.key.getStart().compareTo(point) > 0) return;
+        if (point.compareTo(n.key.getEnd()) < 0) result.add(new Entry<>(n.key, n.value));
+        collectContaining(n.right, point, result);
+    }
+
+    /**
+     * Все интервалы, пересекающиеся с range, в порядке возрастания.
+     * Поддеревья, у которых maxEnd <= range.start, не просматриваются;
+     * время O(min(n, (k + 1) * log n)).
+     */
+    public List<Entry<MyInterval<K>, V>> overlapping(MyInterval<K> range) {
+        if (range == null) throw new IllegalArgumentException("range must not be null");
+        List<Entry<MyInterval<K>, V>> result = new ArrayList<>();
+        collectOverlapping(root, range, result);
+        return result;
+    }
+
+    private void collectOverlapping(MyIntervalNode<K, V> n, MyInterval<K> range,
+                                    List<Entry<MyInterval<K>, V>> result) {
+        if (n == null || n.maxEnd.compareTo(range.getStart()) <= 0) return;
+        collectOverlapping(n.left, range, result);
+        if (n.key.getStart().compareTo(range.getEnd()) >= 0) return;
+        if (range.getStart().compareTo(n.key.getEnd()) < 0) result.add(new Entry<>(n.key, n.value));
+        collectOverlapping(n.right, range, result);
+    }
+
+    /**
+     * Узел с наибольшим start <= point, или null. Для непересекающихся интервалов
+     * только он может содержать point.
+     */
+    MyIntervalNode<K, V> floorNodeByStart(K point) {
+        MyIntervalNode<K, V> n = root, res = null;
+        while (n != null) {
+            if (point.compareTo(n.key.getStart()) < 0) n = n.left;
+            else {
+                res = n;
+                n = n.right;
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public MyInterval<K> firstKey() {
+        return (root == null) ? null : findMin(root).key;
+    }
+
+    @Override
+    public MyInterval<K> lastKey() {
+        return (root == null) ? null : findMax(root).key;
+    }
+
+    @Override
+    public Entry<MyInterval<K>, V> firstEntry() {
+        if (root == null) return null;
+        MyIntervalNode<K, V> n = findMin(root);
+        return new Entry<>(n.key, n.value);
+    }
+
+    @Override
+    public Entry<MyInterval<K>, V> lastEntry() {
+        if (root == null) return null;
+        MyIntervalNode<K, V> n = findMax(root);
+        return new Entry<>(n.key, n.value);
+    }
+
+    @Override
+    public MyInterval<K> lowerKey(MyInterval<K> key) {
+        if (key == null) throw new IllegalArgumentException("key must not be null");
+        MyIntervalNode<K, V> n = root, res = null;
+        while (n != null) {
+            int c = key.compareTo(n.key);
+            if (c <= 0) n = n.left;
+            else {
+                res = n;
+                n = n.right;
+            }
+        }
+        return res == null ? null : res.key;
+    }
+
+    @Override
+    public MyInterval<K> floorKey(MyInterval<K> key) {
+        if (key == null) throw new IllegalArgumentException("key must not be null");
+        MyIntervalNode<K, V> n = root, res = null;
+        while (n != null) {
+            int c = key.compareTo(n.key);
+            if (c < 0) n = n.left;
+            else {
+                res = n;
+                if (c == 0) break;
+                n = n.right;
+            }
+        }
+        return res == null ? null : res.key;
+    }
+
+    @Override
+    public MyInterval<K> ceilingKey(MyInterval<K> key) {
+        if (key == null) throw new IllegalArgumentException("key must not be null");
+        MyIntervalNode<K, V> n = root, res = null;
+        while (n != null) {
+            int c = key.compareTo(n.key);
+            if (c > 0) n = n.right;
+            else {
+                res = n;
+                if (c == 0) break;
+                n = n.left;
+            }
+        }
+        return res == null ? null : res.key;
+    }
+
+    @Override
+    public MyInterval<K> higherKey(MyInterval<K> key) {
+        if (key == null) throw new IllegalArgumentException("key must not be null");
+        MyIntervalNode<K, V> n = root, res = null;
+        while (n != null) {
+            int c = key.compareTo(n.key);
+            if (c >= 0) n = n.right;
+            else {
+                res = n;
+                n = n.left;
+            }
+        }
+        return res == null ? null : res.key;
+    }
+
+    @Override
+    public List<MyInterval<K>> keys() {
+        List<MyInterval<K>> result = new ArrayList<>();
+        inOrderKeys(root, result);
+        return result;
+    }
+
+    @Override
+    public List<V> values() {
+        List<V> result = new ArrayList<>();
+        inOrderValues(root, result);
+        return result;
+    }
+
+    @Override
+    public List<Entry<MyInterval<K>, V>> entries() {
+        List<Entry<MyInterval<K>, V>> result = new ArrayList<>();
+        inOrderEntries(root, result);
+        return result;
+    }
+
+    private void inOrderKeys(MyIntervalNode<K, V> node, List<MyInterval<K>> result) {
+        if (node == null) return;
+        inOrderKeys(node.left, result);
+        result.add(node.key);
+        inOrderKeys(node.right, result);
+    }
+
+    private void inOrderValues(MyIntervalNode<K, V> node, List<V> result) {
+        if (node == null) return;
+        inOrderValues(node.left, result);
+        result.add(node.value);
+        inOrderValues(node.right, result);
+    }
+
+    private void inOrderEntries(MyIntervalNode<K, V> node, List<Entry<MyInterval<K>, V>> result) {
+        if (node == null) return;
+        inOrderEntries(node.left, result);
+        result.add(new Entry<>(node.key, node.value));
+        inOrderEntries(node.right, result);
+    }
+
+    @Override
+    public Iterator<Entry<MyInterval<K>, V>> iterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public Iterator<MyInterval<K>> keyIterator() {
+        return new KeyIterator();
+    }
+
+    @Override
+    public Iterator<V> valueIterator() {
+        return new ValueIterator();
+    }
+
+    /**
+     * Базовый итератор с поддержкой modCount
+     */
+    private abstract class BaseIterator<T> implements Iterator<T> {
+        protected Stack<MyIntervalNode<K, V>> stack = new Stack<>();
+        protected final int expectedModCount = modCount;
+
+        public BaseIterator() {
+            pushLeft(root);
+        }
+
+        protected void pushLeft(MyIntervalNode<K, V> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        protected MyIntervalNode<K, V> nextNode() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            MyIntervalNode<K, V> node = stack.pop();
+
+            if (node.right != null) {
+                pushLeft(node.right);
+            }
+
+            return node;
+        }
+    }
+
+    private class EntryIterator extends BaseIterator<Entry<MyInterval<K>, V>> {
+        @Override
+        public Entry<MyInterval<K>, V> next() {
+            MyIntervalNode<K, V> node = nextNode();
+            return new Entry<>(node.key, node.value);
+        }
+    }
+
+    private class KeyIterator extends BaseIterator<MyInterval<K>> {
+        @Override
+        public MyInterval<K> next() {
+            return nextNode().key;
+        }
+    }
+
+    private class ValueIterator extends BaseIterator<V> {
+        @Override
+        public V next() {
+            return nextNode().value;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (Entry<MyInterval<K>, V> entry : this) {
+            if (!first) sb.append(", ");
+            sb.append(entry.getKey()).append("=").append(entry.getValue());
+            first = false;
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.lozadesuu.collections;
+
+class MyIntervalNode<K extends Comparable<K>, V> {
+    MyInterval<K> key;
+    V value;
+    K maxEnd; // Максимальный конец интервала в поддереве
+    int height = 1;
+    MyIntervalNode<K, V> left, right;
+
+    MyIntervalNode(MyInterval<K> key, V value) {
+        this.key = key;
+        this.value = value;
+        this.maxEnd = key.getEnd();
+    }
+}
@@ -0,0 +1,213 @@
+package com.lozadesuu.collections;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Карта непересекающихся диапазонов [start, end) -> V поверх {@link MyIntervalMap}.
+ * put(range, v) назначает значение на весь диапазон, обрезая или разбивая
+ * существующие диапазоны; соседние диапазоны с равными значениями склеиваются.
+ * remove(range) очищает диапазон тем же способом. V не может быть null.
+ * get/containsKey тоже работают по покрытию: range найден, если целиком лежит
+ * внутри одного хранимого диапазона, поэтому после put(range, v) всегда get(range) == v,
+ * а после remove(range) - containsKey(range) == false. Для поиска по точке - valueAt/entryAt.
+ * keys()/entries() и навигация возвращают хранимые (уже склеенные) диапазоны.
+ */
+public class MyRangeMap<K extends Comparable<K>, V> implements MyNavigableMap<MyInterval<K>, V> {
+    private final MyIntervalMap<K, V> ranges = new MyIntervalMap<>();
+
+    @Override
+    public void put(MyInterval<K> range, V value) {
+        if (range == null) throw new IllegalArgumentException("range must not be null");
+        if (value == null) throw new IllegalArgumentException("value must not be null");
+
+        cut(range);
+
+        K start = range.getStart();
+        K end = range.getEnd();
+
+        // Склеиваем с левым соседом, который заканчивается ровно в start
+        MyInterval<K> lower = ranges.lowerKey(range);
+        if (lower != null && lower.getEnd().compareTo(start) == 0 && Objects.equals(ranges.get(lower), value)) {
+            ranges.remove(lower);
+            start = lower.getStart();
+        }
+
+        // Склеиваем с правым соседом, который начинается ровно в end
+        MyInterval<K> higher = ranges.higherKey(range);
+        if (higher != null && higher.getStart().compareTo(end) == 0 && Objects.equals(ranges.get(higher), value)) {
+            ranges.remove(higher);
+            end = higher.getEnd();
+        }
+
+        ranges.put(new MyInterval<>(start, end), value);
+    }
+
+    @Override
+    public void remove(MyInterval<K> range) {
+        if (range == null) throw new IllegalArgumentException("range must not be null");
+        cut(range);
+    }
+
+    /**
+     * Освобождает range: пересекающиеся диапазоны удаляются,
+     * выступающие за его границы части возвращаются обратно.
+     */
+    private void cut(MyInterval<K> range) {
+        for (Entry<MyInterval<K>, V> e : ranges.overlapping(range)) {
+            MyInterval<K> r = e.getKey();
+            ranges.remove(r);
+            if (r.getStart().compareTo(range.getStart()) < 0) {
+                ranges.put(new MyInterval<>(r.getStart(), range.getStart()), e.getValue());
+            }
+            if (range.getEnd().compareTo(r.getEnd()) < 0) {
+                ranges.put(new MyInterval<>(range.getEnd(), r.getEnd()), e.getValue());
+            }
+        }
+    }
+
+    /**
+     * Диапазон, содержащий точку, вместе со значением, или null. O(log n).
+     */
+    public Entry<MyInterval<K>, V> entryAt(K point) {
+        MyIntervalNode<K, V> n = nodeAt(point);
+        return n == null ? null : new Entry<>(n.key, n.value);
+    }
+
+    /**
+     * Значение диапазона, содержащего точку, или null. O(log n).
+     */
+    public V valueAt(K point) {
+        MyIntervalNode<K, V> n = nodeAt(point);
+        return n == null ? null : n.value;
+    }
+
+    private MyIntervalNode<K, V> nodeAt(K point) {
+        if (point == null) throw new IllegalArgumentException("point must not be null");
+        // Диапазоны не пересекаются: точку может содержать только диапазон с ближайшим start <= point
+        MyIntervalNode<K, V> n = ranges.floorNodeByStart(point);
+        return (n != null && point.compareTo(n.key.getEnd()) < 0) ? n : null;
+    }
+
+    /**
+     * Все диапазоны, пересекающиеся с range, в порядке возрастания.
+     */
+    public List<Entry<MyInterval<K>, V>> overlapping(MyInterval<K> range) {
+        return ranges.overlapping(range);
+    }
+
+    /**
+     * Значение хранимого диапазона, целиком покрывающего range, или null. O(log n).
+     */
+    @Override
+    public V get(MyInterval<K> range) {
+        if (range == null) throw new IllegalArgumentException("range must not be null");
+        MyIntervalNode<K, V> n = coveringNode(range);
+        return n == null ? null : n.value;
+    }
+
+    /**
+     * true, если range целиком лежит внутри одного хранимого диапазона. O(log n).
+     */
+    @Override
+    public boolean containsKey(MyInterval<K> range) {
+        if (range == null) return false;
+        return coveringNode(range) != null;
+    }
+
+    private MyIntervalNode<K, V> coveringNode(MyInterval<K> range) {
+        MyIntervalNode<K, V> n = nodeAt(range.getStart());
+        return (n != null && range.getEnd().compareTo(n.key.getEnd()) <= 0) ? n : null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return ranges.size();
+    }
+
+    @Override
+    public void clear() {
+        ranges.clear();
+    }
+
+    @Override
+    public MyInterval<K> firstKey() {
+        return ranges.firstKey();
+    }
+
+    @Override
+    public MyInterval<K> lastKey() {
+        return ranges.lastKey();
+    }
+
+    @Override
+    public MyInterval<K> lowerKey(MyInterval<K> key) {
+        return ranges.lowerKey(key);
+    }
+
+    @Override
+    public MyInterval<K> floorKey(MyInterval<K> key) {
+        return ranges.floorKey(key);
+    }
+
+    @Override
+    public MyInterval<K> ceilingKey(MyInterval<K> key) {
+        return ranges.ceilingKey(key);
+    }
+
+    @Override
+    public MyInterval<K> higherKey(MyInterval<K> key) {
+        return ranges.higherKey(key);
+    }
+
+    @Override
+    public Entry<MyInterval<K>, V> firstEntry() {
+        return ranges.firstEntry();
+    }
+
+    @Override
+    public Entry<MyInterval<K>, V> lastEntry() {
+        return ranges.lastEntry();
+    }
+
+    @Override
+    public List<MyInterval<K>> keys() {
+        return ranges.keys();
+    }
+
+    @Override
+    public List<V> values() {
+        return ranges.values();
+    }
+
+    @Override
+    public List<Entry<MyInterval<K>, V>> entries() {
+        return ranges.entries();
+    }
+
+    @Override
+    public Iterator<Entry<MyInterval<K>, V>> iterator() {
+        return ranges.iterator();
+    }
+
+    @Override
+    public Iterator<MyInterval<K>> keyIterator() {
+        return ranges.keyIterator();
+    }
+
+    @Override
+    public Iterator<V> valueIterator() {
+        return ranges.valueIterator();
+    }
+
+    @Override
+    public String toString() {
+        return ranges.toString();
+    }
+}
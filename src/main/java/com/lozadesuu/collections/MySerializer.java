@@ -0,0 +1,21 @@
+package com.lozadesuu.collections;
+
+import java.io.IOException;
+
+/**
+ * Бинарный сериализатор ключей/значений для кодеков карт.
+ * Методы *Delta вызываются для ключей, идущих по возрастанию: previous - предыдущий
+ * записанный ключ (строго меньше value). По умолчанию пишут значение целиком.
+ */
+public interface MySerializer<T> {
+    void write(T value, MyBinaryOutput out) throws IOException;
+    T read(MyBinaryInput in) throws IOException;
+
+    default void writeDelta(T previous, T value, MyBinaryOutput out) throws IOException {
+        write(value, out);
+    }
+
+    default T readDelta(T previous, MyBinaryInput in) throws IOException {
+        return read(in);
+    }
+}
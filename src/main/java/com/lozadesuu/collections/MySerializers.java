@@ -0,0 +1,104 @@
+package com.lozadesuu.collections;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+/**
+ * Готовые сериализаторы для стандартных типов.
+ * Для отсортированных ключей числа пишутся как varint разницы с предыдущим,
+ * строки - как длина общего префикса + оставшийся суффикс.
+ */
+public final class MySerializers {
+    private MySerializers() {
+    }
+
+    public static final MySerializer<Integer> INTEGER = new MySerializer<>() {
+        @Override
+        public void write(Integer value, MyBinaryOutput out) throws IOException {
+            out.writeSignedVarInt(value);
+        }
+
+        @Override
+        public Integer read(MyBinaryInput in) throws IOException {
+            return in.readSignedVarInt();
+        }
+
+        @Override
+        public void writeDelta(Integer previous, Integer value, MyBinaryOutput out) throws IOException {
+            // Разница может не поместиться в int, но в long - всегда
+            out.writeVarLong((long) value - previous);
+        }
+
+        @Override
+        public Integer readDelta(Integer previous, MyBinaryInput in) throws IOException {
+            return (int) (previous + in.readVarLong());
+        }
+    };
+
+    public static final MySerializer<Long> LONG = new MySerializer<>() {
+        @Override
+        public void write(Long value, MyBinaryOutput out) throws IOException {
+            out.writeSignedVarLong(value);
+        }
+
+        @Override
+        public Long read(MyBinaryInput in) throws IOException {
+            return in.readSignedVarLong();
+        }
+
+        @Override
+        public void writeDelta(Long previous, Long value, MyBinaryOutput out) throws IOException {
+            // Разница положительна и помещается в 64 бита как беззнаковое число
+            out.writeVarLong(value - previous);
+        }
+
+        @Override
+        public Long readDelta(Long previous, MyBinaryInput in) throws IOException {
+            return previous + in.readVarLong();
+        }
+    };
+
+    public static final MySerializer<Double> DOUBLE = new MySerializer<>() {
+        @Override
+        public void write(Double value, MyBinaryOutput out) throws IOException {
+            out.writeDouble(value);
+        }
+
+        @Override
+        public Double read(MyBinaryInput in) throws IOException {
+            return in.readDouble();
+        }
+    };
+
+    public static final MySerializer<String> STRING = new MySerializer<>() {
+        @Override
+        public void write(String value, MyBinaryOutput out) throws IOException {
+            out.writeString(value);
+        }
+
+        @Override
+        public String read(MyBinaryInput in) throws IOException {
+            return in.readString();
+        }
+
+        @Override
+        public void writeDelta(String previous, String value, MyBinaryOutput out) throws IOException {
+            int max = Math.min(previous.length(), value.length());
+            int p = 0;
+            while (p < max && previous.charAt(p) == value.charAt(p))
+                p++;
+            // Не разрываем суррогатную пару между префиксом и суффиксом
+            if (p > 0 && Character.isHighSurrogate(value.charAt(p - 1)))
+                p--;
+            out.writeVarInt(p);
+            out.writeString(value.substring(p));
+        }
+
+        @Override
+        public String readDelta(String previous, MyBinaryInput in) throws IOException {
+            int p = in.readVarInt();
+            if (p < 0 || p > previous.length()) throw new StreamCorruptedException("bad prefix length: " + p);
+            return previous.substring(0, p) + in.readString();
+        }
+    };
+}
@@ -93,6 +93,17 @@ public class MyTreeMap<K extends Comparable<K>, V> implements MyNavigableMap<K,
         modCount++; // Структурное изменение: удален узел
     }
 
+    /**
+     * Удаляет уже найденный узел (для итераторов, которые идут по узлам напрямую).
+     * Если у узла два ребёнка, в него переносятся ключ и значение преемника,
+     * а удаляется узел преемника.
+     */
+    void removeNode(MyTreeNode<K, V> n) {
+        deleteNode(n);
+        size--;
+        modCount++; // Структурное изменение: удален узел
+    }
+
     /**
      * Улучшенная версия удаления узла без изменения ключа в узле.
      * Использует подход с прямой заменой узлов.
@@ -136,6 +147,53 @@ public class MyTreeMap<K extends Comparable<K>, V> implements MyNavigableMap<K,
         }
     }
 
+    /**
+     * Первый узел в порядке обхода (минимальный ключ) или null, если дерево пусто.
+     */
+    MyTreeNode<K, V> firstNode() {
+        return (root == null) ? null : findMin(root);
+    }
+
+    /**
+     * Следующий узел в порядке обхода по parent-ссылкам, без вспомогательного стека.
+     */
+    static <K, V> MyTreeNode<K, V> successor(MyTreeNode<K, V> n) {
+        if (n.right != null) {
+            n = n.right;
+            while (n.left != null)
+                n = n.left;
+            return n;
+        }
+        MyTreeNode<K, V> p = n.parent;
+        while (p != null && n == p.right) {
+            n = p;
+            p = p.parent;
+        }
+        return p;
+    }
+
+    /**
+     * Заменяет содержимое дерева сбалансированным деревом из узлов,
+     * уже отсортированных по возрастанию ключа (ключи строго возрастают).
+     * Построение за O(n), глубина дерева - O(log n).
+     */
+    void replaceWithSorted(MyTreeNode<K, V>[] nodes, int count) {
+        root = linkBalanced(nodes, 0, count - 1, null);
+        size = count;
+        modCount++; // Структурное изменение: содержимое заменено целиком
+    }
+
+    private static <K, V> MyTreeNode<K, V> linkBalanced(MyTreeNode<K, V>[] nodes, int lo, int hi,
+                                                        MyTreeNode<K, V> parent) {
+        if (lo > hi) return null;
+        int mid = (lo + hi) >>> 1;
+        MyTreeNode<K, V> n = nodes[mid];
+        n.parent = parent;
+        n.left = linkBalanced(nodes, lo, mid - 1, n);
+        n.right = linkBalanced(nodes, mid + 1, hi, n);
+        return n;
+    }
+
     @Override
     public boolean containsKey(K key) {
         if (key == null) return false;
@@ -0,0 +1,141 @@
+package com.lozadesuu.collections;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Компактный потоковый бинарный формат для MyTreeMap.
+ * Формат: тег (1 байт), размер (varint), затем пары в порядке возрастания ключа.
+ * Первый ключ пишется целиком, остальные - через writeDelta относительно предыдущего.
+ * Перед каждым значением - байт-признак null (0) / не null (1).
+ * Запись идёт напрямую по узлам дерева без промежуточных Entry,
+ * чтение собирает сбалансированное дерево за O(n).
+ * Повреждённый или обрезанный поток приводит к StreamCorruptedException.
+ * Методы с каналом каждый раз создают новый буфер. write(map, channel) можно
+ * вызывать подряд, а read(channel) читает из канала с опережением и теряет
+ * байты после карты - он корректен, только если карта последняя в канале.
+ * Для нескольких карт в одном канале читайте через один общий MyBinaryInput.
+ */
+public class MyTreeMapCodec<K extends Comparable<K>, V> {
+    static final int TAG_TREE_MAP = 0x54; // 'T'
+    static final int TAG_BIDI_MAP = 0x42; // 'B'
+    static final int INITIAL_NODES_CAPACITY = 1024;
+
+    private final MySerializer<K> keySerializer;
+    private final MySerializer<V> valueSerializer;
+
+    public MyTreeMapCodec(MySerializer<K> keySerializer, MySerializer<V> valueSerializer) {
+        if (keySerializer == null) throw new IllegalArgumentException("keySerializer must not be null");
+        if (valueSerializer == null) throw new IllegalArgumentException("valueSerializer must not be null");
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+    }
+
+    public void write(MyTreeMap<K, V> map, WritableByteChannel channel) throws IOException {
+        MyBinaryOutput out = new MyBinaryOutput(channel);
+        write(map, out);
+        out.flush();
+    }
+
+    public void write(MyTreeMap<K, V> map, MyBinaryOutput out) throws IOException {
+        out.writeByte(TAG_TREE_MAP);
+        writeEntries(map, out, true);
+    }
+
+    /**
+     * Только для канала, в котором после карты ничего нет: данные за картой,
+     * прочитанные с опережением, теряются. Иначе используйте read(MyBinaryInput).
+     */
+    public MyTreeMap<K, V> read(ReadableByteChannel channel) throws IOException {
+        return read(new MyBinaryInput(channel));
+    }
+
+    public MyTreeMap<K, V> read(MyBinaryInput in) throws IOException {
+        expectTag(in, TAG_TREE_MAP);
+        MyTreeMap<K, V> map = new MyTreeMap<>();
+        readEntries(map, in, true);
+        return map;
+    }
+
+    static void expectTag(MyBinaryInput in, int tag) throws IOException {
+        int actual;
+        try {
+            actual = in.readByte();
+        } catch (EOFException e) {
+            throw truncated("missing tag", e);
+        }
+        if (actual != tag) {
+            throw new StreamCorruptedException("unexpected tag: 0x" + Integer.toHexString(actual));
+        }
+    }
+
+    void writeEntries(MyTreeMap<K, V> map, MyBinaryOutput out, boolean nullableValues) throws IOException {
+        out.writeVarInt(map.size());
+        K prev = null;
+        for (MyTreeNode<K, V> n = map.firstNode(); n != null; n = MyTreeMap.successor(n)) {
+            if (prev == null) keySerializer.write(n.key, out);
+            else keySerializer.writeDelta(prev, n.key, out);
+            prev = n.key;
+
+            if (nullableValues) {
+                if (n.value == null) {
+                    out.writeByte(0);
+                    continue;
+                }
+                out.writeByte(1);
+            }
+            valueSerializer.write(n.value, out);
+        }
+    }
+
+    void readEntries(MyTreeMap<K, V> map, MyBinaryInput in, boolean nullableValues) throws IOException {
+        int size;
+        try {
+            size = in.readVarInt();
+        } catch (EOFException e) {
+            throw truncated("missing size", e);
+        }
+        if (size < 0) throw new StreamCorruptedException("negative size: " + size);
+
+        // Размер из потока не проверен, поэтому массив растёт по мере чтения,
+        // а не выделяется сразу на size элементов
+        @SuppressWarnings("unchecked")
+        MyTreeNode<K, V>[] nodes = (MyTreeNode<K, V>[]) new MyTreeNode[Math.min(size, INITIAL_NODES_CAPACITY)];
+        K prev = null;
+        int i = 0;
+        try {
+            for (; i < size; i++) {
+                K key = (prev == null) ? keySerializer.read(in) : keySerializer.readDelta(prev, in);
+                if (key == null) throw new StreamCorruptedException("null key");
+                // Сборка дерева полагается на строгий порядок ключей
+                if (prev != null && prev.compareTo(key) >= 0) {
+                    throw new StreamCorruptedException("keys are not strictly ascending: " + prev + ", " + key);
+                }
+                prev = key;
+
+                V value = null;
+                if (!nullableValues || in.readByte() != 0) {
+                    value = valueSerializer.read(in);
+                    if (value == null && !nullableValues) throw new StreamCorruptedException("null value");
+                }
+                if (i == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, (int) Math.min(size, 2L * nodes.length));
+                }
+                nodes[i] = new MyTreeNode<>(key, value);
+            }
+        } catch (EOFException e) {
+            throw truncated("read " + i + " of " + size + " entries", e);
+        }
+        map.replaceWithSorted(nodes, size);
+    }
+
+    private static StreamCorruptedException truncated(String detail, EOFException cause) {
+        StreamCorruptedException sce = new StreamCorruptedException("truncated stream: " + detail);
+        sce.initCause(cause);
+        return sce;
+    }
+}
@@ -0,0 +1,55 @@
+package com.lozadesuu.collections.test;
+
+import com.lozadesuu.collections.MyBidiMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyBidiMapTest {
+    private MyBidiMap<Integer, String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new MyBidiMap<>();
+        for (int k : new int[]{50, 20, 80, 10, 30, 70, 90, 25, 35}) {
+            map.put(k, "v" + k);
+        }
+    }
+
+    @Test
+    void testIteratorRemoveKeepsBothDirections() {
+        Iterator<Integer> it = map.keyIterator();
+        while (it.hasNext()) {
+            int k = it.next();
+            if (k % 20 != 0) it.remove();
+        }
+
+        assertEquals(List.of(20, 80), map.keys());
+        assertEquals(2, map.size());
+        assertFalse(map.containsValue("v50"));
+        assertNull(map.getKey("v25"));
+        assertEquals(Integer.valueOf(80), map.getKey("v80"));
+    }
+
+    @Test
+    void testIteratorRemoveTwiceFails() {
+        Iterator<String> it = map.valueIterator();
+        assertThrows(IllegalStateException.class, it::remove);
+        it.next();
+        it.remove();
+        assertThrows(IllegalStateException.class, it::remove);
+    }
+
+    @Test
+    void testIteratorFailFast() {
+        Iterator<Integer> it = map.keyIterator();
+        it.next();
+        map.put(100, "v100");
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+}
@@ -0,0 +1,109 @@
+package com.lozadesuu.collections.test;
+
+import com.lozadesuu.collections.MyBidiMap;
+import com.lozadesuu.collections.MyBloomFilter;
+import com.lozadesuu.collections.MyFilteredMap;
+import com.lozadesuu.collections.MyTreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyFilteredMapTest {
+    private MyFilteredMap<Integer, String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new MyFilteredMap<>(new MyTreeMap<Integer, String>(), 0.01);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 2, "v" + i);
+        }
+    }
+
+    @Test
+    void testMissesAreSkipped() {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(map.containsKey(i * 2));
+            assertFalse(map.containsKey(i * 2 + 1));
+            assertNull(map.get(i * 2 + 1));
+        }
+        assertEquals(3000, map.getLookups());
+        // get() в falsePositives не учитывается
+        assertTrue(map.getSkippedLookups() + map.getFalsePositives() <= 2000);
+        // При заданных 1% почти все промахи должны отсекаться фильтром
+        assertTrue(map.getSkippedLookups() > 1900);
+    }
+
+    @Test
+    void testRebuildAfterRemoves() {
+        long rebuilds = map.getRebuilds();
+        for (int i = 0; i < 1000; i += 2) {
+            map.remove(i * 2);
+        }
+        assertTrue(map.getRebuilds() > rebuilds);
+        assertEquals(500, map.size());
+        assertFalse(map.containsKey(0));
+        assertEquals("v1", map.get(2));
+    }
+
+    @Test
+    void testBloomFilterHasNoFalseNegatives() {
+        MyBloomFilter<String> filter = new MyBloomFilter<>(100, 0.05);
+        for (int i = 0; i < 100; i++) {
+            filter.put("key" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(filter.mightContain("key" + i));
+        }
+        assertTrue(filter.expectedFalsePositiveRate() < 0.1);
+    }
+
+    @Test
+    void testUpdatesDoNotInflateFilter() {
+        double rate = map.getExpectedFalsePositiveRate();
+        long rebuilds = map.getRebuilds();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1000; i++) {
+                map.put(i * 2, "u" + i);
+            }
+        }
+        assertEquals(rate, map.getExpectedFalsePositiveRate(), 0.0);
+        assertEquals(rebuilds, map.getRebuilds());
+    }
+
+    @Test
+    void testNullValueHitIsNotFalsePositive() {
+        MyFilteredMap<Integer, String> nulls = new MyFilteredMap<>(new MyTreeMap<Integer, String>());
+        assertEquals(0, nulls.getRebuilds());
+        nulls.put(1, null);
+        assertNull(nulls.get(1));
+        assertTrue(nulls.containsKey(1));
+        assertEquals(0, nulls.getFalsePositives());
+    }
+
+    @Test
+    void testBidiReplacedKeyIsFound() {
+        MyFilteredMap<Integer, String> bidi = new MyFilteredMap<>(new MyBidiMap<Integer, String>());
+        bidi.put(1, "a");
+        bidi.put(2, "a"); // Ключ 1 заменён ключом 2, размер не изменился
+        assertTrue(bidi.containsKey(2));
+        assertEquals("a", bidi.get(2));
+    }
+
+    @Test
+    void testBidiEvictionsTriggerRebuild() {
+        MyFilteredMap<Integer, String> bidi = new MyFilteredMap<>(new MyBidiMap<Integer, String>());
+        for (int i = 0; i < 100; i++) {
+            bidi.put(i, "v" + i);
+        }
+        long rebuilds = bidi.getRebuilds();
+        // Чётный ключ отбирает значение у следующего, тот вытесняется из карты
+        for (int i = 0; i < 100; i += 2) {
+            bidi.put(i, "v" + (i + 1));
+        }
+        assertEquals(50, bidi.size());
+        assertTrue(bidi.getRebuilds() > rebuilds);
+        assertFalse(bidi.containsKey(1));
+        assertEquals("v1", bidi.get(0));
+    }
+}
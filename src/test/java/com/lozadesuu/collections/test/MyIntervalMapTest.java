@@ -0,0 +1,74 @@
+package com.lozadesuu.collections.test;
+
+import com.lozadesuu.collections.Entry;
+import com.lozadesuu.collections.MyInterval;
+import com.lozadesuu.collections.MyIntervalMap;
+import com.lozadesuu.collections.MyRangeMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyIntervalMapTest {
+
+    @Test
+    void testContainingAndOverlapping() {
+        MyIntervalMap<Integer, String> map = new MyIntervalMap<>();
+        map.put(new MyInterval<>(0, 10), "a");
+        map.put(new MyInterval<>(5, 15), "b");
+        map.put(new MyInterval<>(20, 30), "c");
+        map.put(new MyInterval<>(1, 2), "d");
+
+        assertEquals(List.of("a", "b"), map.containing(7).stream().map(Entry::getValue).toList());
+        assertTrue(map.containing(15).isEmpty()); // Конец интервала не включается
+        assertEquals(List.of("b", "c"),
+                map.overlapping(new MyInterval<>(12, 21)).stream().map(Entry::getValue).toList());
+
+        map.remove(new MyInterval<>(5, 15));
+        assertEquals(List.of("a"), map.containing(7).stream().map(Entry::getValue).toList());
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void testRangeMapSplitsAndCoalesces() {
+        MyRangeMap<Integer, String> map = new MyRangeMap<>();
+        map.put(new MyInterval<>(0, 10), "x");
+        map.put(new MyInterval<>(4, 6), "y");
+
+        assertEquals(List.of(new MyInterval<>(0, 4), new MyInterval<>(4, 6), new MyInterval<>(6, 10)), map.keys());
+        assertEquals("y", map.valueAt(5));
+        assertEquals("x", map.valueAt(6));
+        assertNull(map.valueAt(10));
+
+        map.put(new MyInterval<>(4, 6), "x");
+        assertEquals(List.of(new MyInterval<>(0, 10)), map.keys());
+
+        map.remove(new MyInterval<>(2, 3));
+        assertEquals(List.of(new MyInterval<>(0, 2), new MyInterval<>(3, 10)), map.keys());
+    }
+
+    @Test
+    void testRangeMapPutThenGet() {
+        MyRangeMap<Integer, String> map = new MyRangeMap<>();
+        map.put(new MyInterval<>(0, 5), "x");
+        map.put(new MyInterval<>(5, 10), "x");
+
+        // Диапазоны склеены в [0, 10), но get/containsKey находят каждый из них
+        assertEquals(List.of(new MyInterval<>(0, 10)), map.keys());
+        assertEquals("x", map.get(new MyInterval<>(5, 10)));
+        assertEquals("x", map.get(new MyInterval<>(0, 5)));
+        assertTrue(map.containsKey(new MyInterval<>(3, 7)));
+        assertFalse(map.containsKey(new MyInterval<>(8, 11)));
+
+        map.remove(new MyInterval<>(2, 3));
+        assertFalse(map.containsKey(new MyInterval<>(2, 3)));
+        assertNull(map.get(new MyInterval<>(0, 10)));
+        assertEquals("x", map.get(new MyInterval<>(3, 10)));
+    }
+
+    @Test
+    void testInvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new MyInterval<>(5, 5));
+    }
+}
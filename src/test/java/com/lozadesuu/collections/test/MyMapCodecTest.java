@@ -0,0 +1,170 @@
+package com.lozadesuu.collections.test;
+
+import com.lozadesuu.collections.MyBidiMap;
+import com.lozadesuu.collections.MyBidiMapCodec;
+import com.lozadesuu.collections.MyBinaryInput;
+import com.lozadesuu.collections.MyBinaryOutput;
+import com.lozadesuu.collections.MySerializers;
+import com.lozadesuu.collections.MyTreeMap;
+import com.lozadesuu.collections.MyTreeMapCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyMapCodecTest {
+
+    private static <T> T readBytes(byte[] bytes, Reader<T> reader) throws IOException {
+        return reader.read(new MyBinaryInput(Channels.newChannel(new ByteArrayInputStream(bytes)), 16));
+    }
+
+    private interface Reader<T> {
+        T read(MyBinaryInput in) throws IOException;
+    }
+
+    @Test
+    void testTreeMapRoundTrip() throws IOException {
+        MyTreeMap<Integer, String> map = new MyTreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 7 - 3000, i % 3 == 0 ? null : "v" + i);
+        }
+        MyTreeMapCodec<Integer, String> codec = new MyTreeMapCodec<>(MySerializers.INTEGER, MySerializers.STRING);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(map, Channels.newChannel(bytes));
+        MyTreeMap<Integer, String> copy = codec.read(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(map.size(), copy.size());
+        assertEquals(map.entries(), copy.entries());
+        assertTrue(copy.containsKey(-3000));
+        assertNull(copy.get(0));
+    }
+
+    @Test
+    void testStringKeysWithCommonPrefix() throws IOException {
+        MyTreeMap<String, Long> map = new MyTreeMap<>();
+        map.put("timeline/2024/01", Long.MIN_VALUE);
+        map.put("timeline/2024/02", 0L);
+        map.put("timeline/2025/01", Long.MAX_VALUE);
+        MyTreeMapCodec<String, Long> codec = new MyTreeMapCodec<>(MySerializers.STRING, MySerializers.LONG);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(map, Channels.newChannel(bytes));
+        MyTreeMap<String, Long> copy = codec.read(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(map.entries(), copy.entries());
+    }
+
+    @Test
+    void testBidiMapRebuildsInverse() throws IOException {
+        MyBidiMap<Integer, String> map = new MyBidiMap<>();
+        map.put(1, "один");
+        map.put(2, "два");
+        map.put(3, "три");
+        MyBidiMapCodec<Integer, String> codec = new MyBidiMapCodec<>(MySerializers.INTEGER, MySerializers.STRING);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(map, Channels.newChannel(bytes));
+        MyBidiMap<Integer, String> copy = codec.read(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(map.entries(), copy.entries());
+        assertEquals(Integer.valueOf(2), copy.getKey("два"));
+        assertTrue(copy.containsValue("три"));
+    }
+
+    @Test
+    void testWrongTagRejected() throws IOException {
+        MyTreeMap<Integer, String> map = new MyTreeMap<>();
+        map.put(1, "a");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new MyTreeMapCodec<>(MySerializers.INTEGER, MySerializers.STRING).write(map, Channels.newChannel(bytes));
+
+        MyBidiMapCodec<Integer, String> codec = new MyBidiMapCodec<>(MySerializers.INTEGER, MySerializers.STRING);
+        assertThrows(StreamCorruptedException.class,
+                () -> codec.read(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    void testSmallBuffersStraddleBoundaries() throws IOException {
+        MyTreeMap<String, String> map = new MyTreeMap<>();
+        for (int i = 0; i < 500; i++) {
+            map.put("key-" + i, i % 5 == 0 ? null : "значение-" + "x".repeat(i % 40));
+        }
+        MyTreeMapCodec<String, String> codec = new MyTreeMapCodec<>(MySerializers.STRING, MySerializers.STRING);
+
+        // Буфер 16 байт: строки и varint разрываются между заполнениями буфера
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MyBinaryOutput out = new MyBinaryOutput(Channels.newChannel(bytes), 16);
+        codec.write(map, out);
+        codec.write(map, out);
+        out.flush();
+
+        MyBinaryInput in = new MyBinaryInput(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), 16);
+        assertEquals(map.entries(), codec.read(in).entries());
+        assertEquals(map.entries(), codec.read(in).entries());
+    }
+
+    @Test
+    void testTruncatedStreamRejected() throws IOException {
+        MyTreeMap<Integer, String> map = new MyTreeMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        MyTreeMapCodec<Integer, String> codec = new MyTreeMapCodec<>(MySerializers.INTEGER, MySerializers.STRING);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(map, Channels.newChannel(bytes));
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 3);
+
+        assertThrows(StreamCorruptedException.class, () -> readBytes(truncated, codec::read));
+    }
+
+    @Test
+    void testHugeSizeRejected() {
+        MyTreeMapCodec<String, String> codec = new MyTreeMapCodec<>(MySerializers.STRING, MySerializers.STRING);
+        // Размер Integer.MAX_VALUE без данных
+        byte[] hugeSize = {0x54, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThrows(StreamCorruptedException.class, () -> readBytes(hugeSize, codec::read));
+        // Одна запись, длина строки-ключа Integer.MAX_VALUE
+        byte[] hugeString = {0x54, 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0x61};
+        assertThrows(StreamCorruptedException.class, () -> readBytes(hugeString, codec::read));
+    }
+
+    @Test
+    void testNonAscendingKeysRejected() {
+        MyTreeMapCodec<String, String> codec = new MyTreeMapCodec<>(MySerializers.STRING, MySerializers.STRING);
+        // Ключи "b", затем "a" (общий префикс 0), значения null
+        byte[] bytes = {0x54, 0x02, 0x01, 0x62, 0x00, 0x00, 0x01, 0x61, 0x00};
+        assertThrows(StreamCorruptedException.class, () -> readBytes(bytes, codec::read));
+    }
+
+    @Test
+    void testSeveralMapsFromOneChannel() throws IOException {
+        MyTreeMap<Integer, String> first = new MyTreeMap<>();
+        first.put(1, "a");
+        MyTreeMap<Integer, String> second = new MyTreeMap<>();
+        second.put(2, "b");
+        MyTreeMapCodec<Integer, String> codec = new MyTreeMapCodec<>(MySerializers.INTEGER, MySerializers.STRING);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(first, Channels.newChannel(bytes));
+        codec.write(second, Channels.newChannel(bytes));
+
+        // Несколько карт из одного канала читаются через общий MyBinaryInput
+        MyBinaryInput in = new MyBinaryInput(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(first.entries(), codec.read(in).entries());
+        assertEquals(second.entries(), codec.read(in).entries());
+    }
+
+    @Test
+    void testMissingTagOrSizeRejected() {
+        MyTreeMapCodec<Integer, String> codec = new MyTreeMapCodec<>(MySerializers.INTEGER, MySerializers.STRING);
+        assertThrows(StreamCorruptedException.class, () -> readBytes(new byte[0], codec::read));
+        assertThrows(StreamCorruptedException.class, () -> readBytes(new byte[]{0x54}, codec::read));
+    }
+}